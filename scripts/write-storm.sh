@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Latencia de lecturas con y sin una ráfaga de escrituras concurrente.
+# Uso: scripts/write-storm.sh [BASE_URL]   (la app debe estar corriendo)
+# Variables: READS (lecturas medidas), WRITERS (escritores concurrentes), POINTS (puntos por escritura)
+set -euo pipefail
+
+BASE=${1:-http://localhost:8080/api/v1/blueprints}
+READS=${READS:-500}
+WRITERS=${WRITERS:-16}
+POINTS=${POINTS:-200}
+
+points=$(seq "$POINTS" | awk '{ printf "%s{\"x\":%d,\"y\":%d}", (NR > 1 ? "," : ""), $1, $1 }')
+
+measure_reads() {
+  for _ in $(seq "$READS"); do
+    curl -s -o /dev/null -w '%{time_total}\n' -H 'X-Forwarded-For: 198.51.100.1' "$BASE/john/house"
+  done | sort -n | awk '{ t[NR] = $1 * 1000 } END {
+    printf "p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms\n", t[int(NR*0.50)], t[int(NR*0.95)], t[int(NR*0.99)], t[NR] }'
+}
+
+storm() {
+  # Un solo cliente abusivo escribiendo sin pausa; se imprime el código HTTP de cada escritura
+  seq 1000000 | xargs -P "$WRITERS" -I{} curl -s -o /dev/null -w '%{http_code}\n' \
+    -X POST "$BASE" -H 'Content-Type: application/json' -H 'X-Forwarded-For: 198.51.100.2' \
+    -d "{\"author\":\"storm\",\"name\":\"bp-{}\",\"points\":[$points]}" 2>/dev/null || true
+}
+
+curl -sf -o /dev/null "$BASE/john/house"   # calentamiento
+measure_reads >/dev/null
+
+echo "sin escrituras:  $(measure_reads)"
+
+codes=$(mktemp)
+storm >"$codes" &
+storm_pid=$!
+sleep 2
+echo "con escrituras:  $(measure_reads)"
+pkill -P "$storm_pid" xargs 2>/dev/null || true
+kill "$storm_pid" 2>/dev/null || true
+wait "$storm_pid" 2>/dev/null || true
+
+echo "escrituras por código HTTP:"
+sort "$codes" | uniq -c
+rm -f "$codes"
@@ -0,0 +1,128 @@
+package edu.eci.arsw.blueprints.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Control de admisión: rate limit con token buckets sobre escrituras (por cliente y por autor)
+ * y límites de concurrencia separados para lecturas y escrituras a persistencia, de modo que
+ * una ráfaga de escrituras se rechaza con 429/503 en vez de encolarse frente a persistencia.
+ * El costo HTTP y de parseo del cuerpo ocurre antes y no se evita (ver scripts/write-storm.sh).
+ */
+@Component
+@Lazy(false)
+public class AdmissionControl {
+
+    private final boolean enabled;
+    private final double clientCapacity;
+    private final double clientRefillPerSecond;
+    private final double authorCapacity;
+    private final double authorRefillPerSecond;
+    private final long overloadRetryAfterSeconds;
+
+    private final Map<String, TokenBucket> clientBuckets;
+    private final Map<String, TokenBucket> authorBuckets;
+
+    private final ConcurrencyLimiter readLimiter;
+    private final ConcurrencyLimiter writeLimiter;
+
+    private final Counter clientRejections;
+    private final Counter authorRejections;
+    private final Counter readSheds;
+    private final Counter writeSheds;
+
+    public AdmissionControl(MeterRegistry registry,
+                            @Value("${blueprints.admission.enabled:true}") boolean enabled,
+                            @Value("${blueprints.admission.client.capacity:20}") double clientCapacity,
+                            @Value("${blueprints.admission.client.refill-per-second:10}") double clientRefillPerSecond,
+                            @Value("${blueprints.admission.author.capacity:20}") double authorCapacity,
+                            @Value("${blueprints.admission.author.refill-per-second:10}") double authorRefillPerSecond,
+                            @Value("${blueprints.admission.max-tracked-keys:10000}") int maxTrackedKeys,
+                            @Value("${blueprints.admission.read.max-concurrent:64}") int readMaxConcurrent,
+                            @Value("${blueprints.admission.write.max-concurrent:8}") int writeMaxConcurrent,
+                            @Value("${blueprints.admission.max-wait-ms:0}") long maxWaitMillis,
+                            @Value("${blueprints.admission.overload-retry-after-seconds:1}") long overloadRetryAfterSeconds) {
+        this.enabled = enabled;
+        this.clientCapacity = clientCapacity;
+        this.clientRefillPerSecond = clientRefillPerSecond;
+        this.authorCapacity = authorCapacity;
+        this.authorRefillPerSecond = authorRefillPerSecond;
+        this.clientBuckets = lruBuckets(maxTrackedKeys);
+        this.authorBuckets = lruBuckets(maxTrackedKeys);
+        this.overloadRetryAfterSeconds = overloadRetryAfterSeconds;
+        this.readLimiter = new ConcurrencyLimiter("read", readMaxConcurrent, maxWaitMillis);
+        this.writeLimiter = new ConcurrencyLimiter("write", writeMaxConcurrent, maxWaitMillis);
+
+        this.clientRejections = rejections(registry, "client");
+        this.authorRejections = rejections(registry, "author");
+        this.readSheds = rejections(registry, "read-concurrency");
+        this.writeSheds = rejections(registry, "write-concurrency");
+        for (ConcurrencyLimiter limiter : new ConcurrencyLimiter[]{readLimiter, writeLimiter}) {
+            Gauge.builder("blueprints.admission.inflight", limiter, ConcurrencyLimiter::inFlight)
+                    .tag("type", limiter.name())
+                    .register(registry);
+        }
+        Gauge.builder("blueprints.admission.limit", () -> readMaxConcurrent).tag("type", "read").register(registry);
+        Gauge.builder("blueprints.admission.limit", () -> writeMaxConcurrent).tag("type", "write").register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("blueprints.admission.rejected").tag("reason", reason).register(registry);
+    }
+
+    /** Descuenta una escritura del bucket del cliente y del bucket del autor. */
+    public void checkWriteRate(String clientId, String author) {
+        if (!enabled) return;
+        charge(clientBuckets, clientId, clientCapacity, clientRefillPerSecond, clientRejections, "client " + clientId);
+        if (author != null) {
+            charge(authorBuckets, author, authorCapacity, authorRefillPerSecond, authorRejections, "author " + author);
+        }
+    }
+
+    public Permit readPermit() { return acquire(readLimiter, readSheds); }
+
+    public Permit writePermit() { return acquire(writeLimiter, writeSheds); }
+
+    private void charge(Map<String, TokenBucket> buckets, String key, double capacity, double refillPerSecond,
+                        Counter rejected, String who) {
+        TokenBucket bucket;
+        synchronized (buckets) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond));
+        }
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos > 0) {
+            rejected.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            throw new RateLimitExceededException("Write rate limit exceeded for " + who, retryAfter);
+        }
+    }
+
+    // Tabla acotada en O(1): al superar maxTrackedKeys sale el bucket usado hace más tiempo
+    // (el inactivo, que en la práctica ya está lleno y equivale a uno nuevo)
+    private static Map<String, TokenBucket> lruBuckets(int maxTrackedKeys) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxTrackedKeys;
+            }
+        };
+    }
+
+    private Permit acquire(ConcurrencyLimiter limiter, Counter shed) {
+        if (!enabled) return () -> { };
+        Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            shed.increment();
+            throw new OverloadedException("Too many concurrent " + limiter.name() + " operations", overloadRetryAfterSeconds);
+        }
+        return permit;
+    }
+}
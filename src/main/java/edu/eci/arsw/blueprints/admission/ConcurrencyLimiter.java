@@ -0,0 +1,38 @@
+package edu.eci.arsw.blueprints.admission;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita las llamadas concurrentes a persistencia; quien no obtiene un cupo en
+ * {@code maxWaitMillis} se rechaza en vez de quedar encolado.
+ */
+final class ConcurrencyLimiter {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+
+    ConcurrencyLimiter(String name, int maxConcurrent, long maxWaitMillis) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /** Retorna el permiso a cerrar, o null si la llamada debe descartarse. */
+    Permit tryAcquire() {
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return permits::release;
+    }
+
+    String name() { return name; }
+
+    int inFlight() { return maxConcurrent - permits.availablePermits(); }
+}
@@ -0,0 +1,10 @@
+package edu.eci.arsw.blueprints.admission;
+
+/**
+ * Cupo ocupado mientras corre una llamada a persistencia; usar con try-with-resources.
+ */
+@FunctionalInterface
+public interface Permit extends AutoCloseable {
+    @Override
+    void close();
+}
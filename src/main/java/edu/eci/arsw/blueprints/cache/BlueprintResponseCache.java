@@ -0,0 +1,149 @@
+package edu.eci.arsw.blueprints.cache;
+
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache opcional de las respuestas ya serializadas de GET /{author}/{bpname} (plana y gzip).
+ * Cada blueprint tiene una versión, guardada en un arreglo fijo de franjas indexado por el hash
+ * de la llave: una respuesta leída antes de una escritura sobre su blueprint nunca se guarda, y
+ * escrituras sobre otros blueprints solo interfieren si comparten franja. Acotada por bytes
+ * codificados con desalojo LRU; opcionalmente fuera del heap.
+ */
+@Component
+public class BlueprintResponseCache {
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final boolean offHeap;
+
+    // Memoria fija (8 KB) sin importar cuántos blueprints se escriban
+    private static final int VERSION_STRIPES = 1024;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final LinkedHashMap<BlueprintKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes = 0;
+
+    public BlueprintResponseCache(@Value("${blueprints.response-cache.enabled:false}") boolean enabled,
+                                  @Value("${blueprints.response-cache.max-bytes:16777216}") long maxBytes,
+                                  @Value("${blueprints.response-cache.off-heap:false}") boolean offHeap) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.offHeap = offHeap;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Versión actual del blueprint; se lee antes de cargarlo para guardarlo. */
+    public long version(BlueprintKey key) { return versions.get(stripe(key)); }
+
+    static int stripe(BlueprintKey key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    public synchronized Entry get(BlueprintKey key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Guarda la respuesta salvo que su blueprint se haya escrito desde que se leyó {@code version}.
+     * Las validaciones van antes de comprimir y de reservar memoria directa.
+     */
+    public boolean put(BlueprintKey key, long version, byte[] json) {
+        if (!enabled || json.length > maxBytes || isStale(key, version)) return false;
+        byte[] gzipped = gzip(json);
+        if ((long) json.length + gzipped.length > maxBytes || isStale(key, version)) return false;
+        Entry e = new Entry(store(json), store(gzipped));
+        synchronized (this) {
+            if (isStale(key, version)) return false;
+            remove(key);
+            entries.put(key, e);
+            usedBytes += e.size();
+            Iterator<Map.Entry<BlueprintKey, Entry>> it = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && it.hasNext()) {
+                usedBytes -= it.next().getValue().size();
+                it.remove();
+            }
+        }
+        return true;
+    }
+
+    public void invalidate(String author, String name) {
+        if (!enabled) return;
+        BlueprintKey key = new BlueprintKey(author, name);
+        synchronized (this) {
+            versions.incrementAndGet(stripe(key));
+            remove(key);
+        }
+    }
+
+    private boolean isStale(BlueprintKey key, long version) { return version != version(key); }
+
+    private void remove(BlueprintKey key) {
+        Entry old = entries.remove(key);
+        if (old != null) usedBytes -= old.size();
+    }
+
+    private ByteBuffer store(byte[] bytes) {
+        if (!offHeap) return ByteBuffer.wrap(bytes);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        return direct;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static final class Entry {
+        private final ByteBuffer identity;
+        private final ByteBuffer gzip;
+
+        private Entry(ByteBuffer identity, ByteBuffer gzip) {
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+
+        int size() { return identity.capacity() + gzip.capacity(); }
+
+        public boolean isOffHeap() { return identity.isDirect(); }
+
+        public int length(boolean gzipped) { return (gzipped ? gzip : identity).capacity(); }
+
+        /** Arreglo guardado, sin copia; solo para entradas en heap. */
+        public byte[] bytes(boolean gzipped) {
+            ByteBuffer buf = gzipped ? gzip : identity;
+            if (!buf.hasArray()) throw new IllegalStateException("Off-heap entry: use writeTo");
+            return buf.array();
+        }
+
+        /** Escribe directamente desde el buffer guardado (también fuera del heap), sin copiarlo a un byte[]. */
+        public void writeTo(OutputStream out, boolean gzipped) throws IOException {
+            WritableByteChannel channel = Channels.newChannel(out);
+            ByteBuffer buf = (gzipped ? gzip : identity).duplicate();
+            buf.clear();
+            while (buf.hasRemaining()) channel.write(buf);
+        }
+    }
+}
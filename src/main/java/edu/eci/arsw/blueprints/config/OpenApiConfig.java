@@ -4,8 +4,13 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
+/**
+ * No se carga con el perfil "fast-startup", donde springdoc está deshabilitado.
+ */
 @Configuration
+@Profile("!fast-startup")
 public class OpenApiConfig {
 
     @Bean
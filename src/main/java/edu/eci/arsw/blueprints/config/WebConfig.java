@@ -0,0 +1,53 @@
+package edu.eci.arsw.blueprints.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Permite responder {@link StreamingResponseBody} desde métodos que devuelven {@code ResponseEntity<?>}:
+ * el cuerpo se escribe de forma síncrona sobre la salida de la respuesta, sin pasar por Jackson.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new StreamingBodyConverter());
+    }
+
+    static class StreamingBodyConverter extends AbstractHttpMessageConverter<StreamingResponseBody> {
+
+        StreamingBodyConverter() {
+            super(MediaType.ALL);
+        }
+
+        @Override
+        protected boolean supports(Class<?> clazz) {
+            return StreamingResponseBody.class.isAssignableFrom(clazz);
+        }
+
+        @Override
+        protected boolean canRead(MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        protected StreamingResponseBody readInternal(Class<? extends StreamingResponseBody> clazz, HttpInputMessage inputMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void writeInternal(StreamingResponseBody body, HttpOutputMessage outputMessage) throws IOException {
+            body.writeTo(outputMessage.getBody());
+        }
+    }
+}
@@ -5,19 +5,40 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.admission.AdmissionControl;
+import edu.eci.arsw.blueprints.admission.OverloadedException;
+import edu.eci.arsw.blueprints.admission.RateLimitExceededException;
+import edu.eci.arsw.blueprints.cache.BlueprintResponseCache;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.model.dto.BaseApiResponse;
+import edu.eci.arsw.blueprints.model.dto.BlueprintBatchItem;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.PersistenceInternalException;
+import edu.eci.arsw.blueprints.persistence.PersistenceRejectedException;
+import edu.eci.arsw.blueprints.persistence.PersistenceUnavailableException;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
 import edu.eci.arsw.blueprints.utils.ApiResponseBuilder;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -29,28 +50,66 @@ public class BlueprintsAPIController {
     
     private final ApiResponseBuilder responseBuilder;
 
-    public BlueprintsAPIController(BlueprintsServices services, ApiResponseBuilder responseBuilder) {
+    private final BlueprintResponseCache responseCache;
+
+    private final ObjectMapper objectMapper;
+
+    private final AdmissionControl admission;
+
+    public BlueprintsAPIController(BlueprintsServices services, ApiResponseBuilder responseBuilder,
+                                   BlueprintResponseCache responseCache, ObjectMapper objectMapper,
+                                   AdmissionControl admission) {
         this.services = services;
         this.responseBuilder = responseBuilder;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.admission = admission;
     }
 
     // GET /blueprints
 
     @Operation(summary = "Obtener todos los blueprints", description = "Retorna todos los blueprints registrados.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Todos los blueprints obtenidos exitosamente")
+        @ApiResponse(responseCode = "200", description = "Todos los blueprints obtenidos exitosamente"),
+        @ApiResponse(responseCode = "503", description = "Almacenamiento no disponible")
     })
     @GetMapping
     public ResponseEntity<BaseApiResponse<Set<Blueprint>>> getAll() {
         return ResponseEntity.ok(responseBuilder.success(services.getAllBlueprints(), "All blueprints successfully fetched"));
     }
 
+    // GET /blueprints/stats  (el autor "stats" queda reservado: GET /stats tiene prioridad sobre /{author})
+
+    @Operation(summary = "Obtener estadísticas agregadas", description = "Retorna el total de blueprints, puntos, blueprints por autor y extensión de coordenadas.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente"),
+        @ApiResponse(responseCode = "503", description = "Almacenamiento no disponible")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<BaseApiResponse<BlueprintStats>> stats() {
+        return ResponseEntity.ok(responseBuilder.success(services.getStats(), "Blueprint stats successfully fetched"));
+    }
+
+    // POST /blueprints/batch
+
+    @Operation(summary = "Obtener varios blueprints", description = "Retorna en una sola respuesta los blueprints de la lista de autor/nombre, marcando los que no existen.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; cada elemento indica si fue encontrado"),
+        @ApiResponse(responseCode = "400", description = "Lista de llaves vacía o demasiado grande"),
+        @ApiResponse(responseCode = "503", description = "Servicio sobrecargado o almacenamiento no disponible")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BaseApiResponse<List<BlueprintBatchItem>>> batch(@Valid @RequestBody BatchReadRequest req) {
+        return ResponseEntity.ok(responseBuilder.success(services.getBlueprints(req.keys()), "Blueprint batch successfully fetched"));
+    }
+
     // GET /blueprints/{author}
 
     @Operation(summary = "Obtener blueprints por autor", description = "Retorna todos los blueprints de un autor específico.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Blueprints encontrados por autor"),
-        @ApiResponse(responseCode = "404", description = "No se encontraron blueprints para el autor")
+        @ApiResponse(responseCode = "404", description = "No se encontraron blueprints para el autor"),
+        @ApiResponse(responseCode = "503", description = "Almacenamiento no disponible")
     })
     @GetMapping("/{author}")
     public ResponseEntity<BaseApiResponse<?>> byAuthor(@PathVariable String author) {
@@ -66,12 +125,33 @@ public class BlueprintsAPIController {
     @Operation(summary = "Obtener blueprint por autor y nombre", description = "Retorna un blueprint específico dado el autor y el nombre.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Blueprint encontrado"),
-        @ApiResponse(responseCode = "404", description = "No se encontró el blueprint")
+        @ApiResponse(responseCode = "404", description = "No se encontró el blueprint"),
+        @ApiResponse(responseCode = "503", description = "Almacenamiento no disponible")
     })
     @GetMapping("/{author}/{bpname}")
-    public ResponseEntity<BaseApiResponse<?>> byAuthorAndName(@PathVariable String author, @PathVariable String bpname) {
+    public ResponseEntity<?> byAuthorAndName(@PathVariable String author, @PathVariable String bpname,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IOException {
         try {
-            return ResponseEntity.ok(responseBuilder.success(services.getBlueprint(author, bpname),"Blueprint was found by author: " + author + " and name: "+ bpname));
+            if (!responseCache.isEnabled()) {
+                return ResponseEntity.ok(responseBuilder.success(services.getBlueprint(author, bpname),"Blueprint was found by author: " + author + " and name: "+ bpname));
+            }
+            BlueprintKey key = new BlueprintKey(author, bpname);
+            BlueprintResponseCache.Entry entry = responseCache.get(key);
+            if (entry != null) {
+                // Hit: bytes ya codificados, sin pasar por Jackson
+                boolean gzipped = acceptsGzip(acceptEncoding);
+                if (entry.isOffHeap()) {
+                    StreamingResponseBody body = out -> entry.writeTo(out, gzipped);
+                    return cachedResponse(body, entry.length(gzipped), gzipped);
+                }
+                byte[] body = entry.bytes(gzipped);
+                return cachedResponse(body, body.length, gzipped);
+            }
+            // Miss: se serializa una vez, se guarda y se responde con esos mismos bytes
+            long version = responseCache.version(key);
+            byte[] json = objectMapper.writeValueAsBytes(responseBuilder.success(services.getBlueprint(author, bpname),"Blueprint was found by author: " + author + " and name: "+ bpname));
+            responseCache.put(key, version, json);
+            return cachedResponse(json, json.length, false);
         } catch (BlueprintNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseBuilder.notFound(Map.of("error", e.getMessage()), "Could not find any blueprint by author: "+ author+ " and name:" +bpname));
         }
@@ -82,10 +162,13 @@ public class BlueprintsAPIController {
     @Operation(summary = "Crear un nuevo blueprint", description = "Crea un nuevo blueprint con los datos proporcionados.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Blueprint creado exitosamente"),
-        @ApiResponse(responseCode = "403", description = "No se pudo crear el blueprint")
+        @ApiResponse(responseCode = "403", description = "No se pudo crear el blueprint"),
+        @ApiResponse(responseCode = "429", description = "Límite de escrituras excedido"),
+        @ApiResponse(responseCode = "503", description = "Servicio sobrecargado o almacenamiento no disponible")
     })
     @PostMapping
-    public ResponseEntity<BaseApiResponse<?>> add(@Valid @RequestBody NewBlueprintRequest req) {
+    public ResponseEntity<BaseApiResponse<?>> add(@Valid @RequestBody NewBlueprintRequest req, HttpServletRequest request) {
+        admission.checkWriteRate(request.getRemoteAddr(), req.author());
         try {
             Blueprint bp = new Blueprint(req.author(), req.name(), req.points());
             services.addNewBlueprint(bp);
@@ -100,11 +183,15 @@ public class BlueprintsAPIController {
     @Operation(summary = "Agregar punto a un blueprint", description = "Agrega un punto a un blueprint existente.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "202", description = "Punto agregado exitosamente"),
-        @ApiResponse(responseCode = "404", description = "No se encontró el blueprint para agregar el punto")
+        @ApiResponse(responseCode = "400", description = "Datos rechazados por el almacenamiento"),
+        @ApiResponse(responseCode = "404", description = "No se encontró el blueprint para agregar el punto"),
+        @ApiResponse(responseCode = "429", description = "Límite de escrituras excedido"),
+        @ApiResponse(responseCode = "503", description = "Servicio sobrecargado o almacenamiento no disponible")
     })
     @PutMapping("/{author}/{bpname}/points")
     public ResponseEntity<BaseApiResponse<?>> addPoint(@PathVariable String author, @PathVariable String bpname,
-            @RequestBody Point p) {
+            @RequestBody Point p, HttpServletRequest request) {
+        admission.checkWriteRate(request.getRemoteAddr(), author);
         try {
             services.addPoint(author, bpname, p.x(), p.y());
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(responseBuilder.accepted(null,"Point was added succesfully"));
@@ -113,8 +200,78 @@ public class BlueprintsAPIController {
         }
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<BaseApiResponse<?>> rateLimited(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(responseBuilder.tooManyRequests(Map.of("error", e.getMessage()), "Too many write requests"));
+    }
+
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<BaseApiResponse<?>> overloaded(OverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(responseBuilder.serviceUnavailable(Map.of("error", e.getMessage()), "Service is overloaded, try again later"));
+    }
+
+    @ExceptionHandler(PersistenceRejectedException.class)
+    public ResponseEntity<BaseApiResponse<?>> persistenceRejected(PersistenceRejectedException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(responseBuilder.badRequest(Map.of("error", e.getMessage()), "Request was rejected by blueprint storage"));
+    }
+
+    @ExceptionHandler(PersistenceInternalException.class)
+    public ResponseEntity<BaseApiResponse<?>> persistenceInternal(PersistenceInternalException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(responseBuilder.internalServerError(Map.of("error", e.getMessage()), "Blueprint storage failed"));
+    }
+
+    @ExceptionHandler(PersistenceUnavailableException.class)
+    public ResponseEntity<BaseApiResponse<?>> persistenceUnavailable(PersistenceUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(responseBuilder.serviceUnavailable(Map.of("error", e.getMessage()), "Blueprint storage is unavailable, try again later"));
+    }
+
+    private static <T> ResponseEntity<T> cachedResponse(T body, long length, boolean gzipped) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return builder.body(body);
+    }
+
+    // Accept-Encoding: gzip (o *) con q > 0; "gzip;q=0" lo rechaza explícitamente
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip")) return q > 0;
+            if (coding.equals("*")) wildcard = q > 0;
+        }
+        return wildcard;
+    }
+
+    public record BatchReadRequest(
+            @NotEmpty @Size(max = 500) List<@NotNull @Valid BlueprintKey> keys) {
+    }
+
     public record NewBlueprintRequest(
-            @NotBlank String author,
+            @NotBlank @Pattern(regexp = "^(?!stats$).*", message = "author 'stats' is reserved for the stats endpoint") String author,
             @NotBlank String name,
             @Valid java.util.List<Point> points) {
     }
@@ -0,0 +1,5 @@
+package edu.eci.arsw.blueprints.model;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record BlueprintKey(@NotBlank String author, @NotBlank String name) { }
@@ -0,0 +1,16 @@
+package edu.eci.arsw.blueprints.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Contadores agregados sobre todos los blueprints almacenados.
+ * Las extensiones (min/max) son null mientras no exista ningún punto.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BlueprintStats(long totalBlueprints,
+                             long totalPoints,
+                             Map<String, Long> blueprintsByAuthor,
+                             Integer minX, Integer minY,
+                             Integer maxX, Integer maxY) { }
@@ -0,0 +1,10 @@
+package edu.eci.arsw.blueprints.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+/**
+ * Un elemento de una lectura por lotes, en el orden de la petición; sin {@code blueprint} si no existe.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BlueprintBatchItem(String author, String name, boolean found, Blueprint blueprint) { }
@@ -1,6 +1,10 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 public interface BlueprintPersistence {
@@ -13,5 +17,15 @@ public interface BlueprintPersistence {
 
     Set<Blueprint> getAllBlueprints();
 
+    /**
+     * Carga varios blueprints en un solo viaje al backend; las llaves inexistentes no aparecen en el resultado.
+     */
+    Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys);
+
     void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException;
+
+    /**
+     * Agregados actualizados en cada escritura: leerlos no recorre los blueprints.
+     */
+    BlueprintStats getStats();
 }
@@ -1,11 +1,15 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
 import edu.eci.arsw.blueprints.model.Point;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 @Repository
@@ -13,6 +17,15 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
 
     private final Map<String, Blueprint> blueprints = new ConcurrentHashMap<>();
 
+    // Agregados mantenidos en cada escritura: getStats() nunca recorre el mapa
+    private final LongAdder totalBlueprints = new LongAdder();
+    private final LongAdder totalPoints = new LongAdder();
+    private final Map<String, LongAdder> blueprintsByAuthor = new ConcurrentHashMap<>();
+    private final AtomicInteger minX = new AtomicInteger(Integer.MAX_VALUE);
+    private final AtomicInteger minY = new AtomicInteger(Integer.MAX_VALUE);
+    private final AtomicInteger maxX = new AtomicInteger(Integer.MIN_VALUE);
+    private final AtomicInteger maxY = new AtomicInteger(Integer.MIN_VALUE);
+
     public InMemoryBlueprintPersistence() {
         // Sample data 1:1 style (author/name key)
         Blueprint bp1 = new Blueprint("john", "house",
@@ -21,9 +34,10 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
                 List.of(new Point(5,5), new Point(15,5), new Point(15,15)));
         Blueprint bp3 = new Blueprint("jane", "garden",
                 List.of(new Point(2,2), new Point(3,4), new Point(6,7)));
-        blueprints.put(keyOf(bp1), bp1);
-        blueprints.put(keyOf(bp2), bp2);
-        blueprints.put(keyOf(bp3), bp3);
+        for (Blueprint bp : List.of(bp1, bp2, bp3)) {
+            blueprints.put(keyOf(bp), bp);
+            recordBlueprint(bp.getAuthor(), bp.getPoints());
+        }
     }
 
     private String keyOf(Blueprint bp) { return bp.getAuthor() + ":" + bp.getName(); }
@@ -32,8 +46,10 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
     @Override
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
         String k = keyOf(bp);
-        if (blueprints.containsKey(k)) throw new BlueprintPersistenceException("Blueprint already exists: " + k);
-        blueprints.put(k, bp);
+        // Copia de los puntos antes de publicar: un addPoint concurrente ya no se cuenta dos veces
+        List<Point> points = List.copyOf(bp.getPoints());
+        if (blueprints.putIfAbsent(k, bp) != null) throw new BlueprintPersistenceException("Blueprint already exists: " + k);
+        recordBlueprint(bp.getAuthor(), points);
     }
 
     @Override
@@ -57,9 +73,48 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
         return new HashSet<>(blueprints.values());
     }
 
+    @Override
+    public Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys) {
+        Map<BlueprintKey, Blueprint> found = new ConcurrentHashMap<>();
+        keys.parallelStream().forEach(k -> {
+            Blueprint bp = blueprints.get(keyOf(k.author(), k.name()));
+            if (bp != null) found.put(k, bp);
+        });
+        return found;
+    }
+
     @Override
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
         Blueprint bp = getBlueprint(author, name);
-        bp.addPoint(new Point(x, y));
+        Point p = new Point(x, y);
+        bp.addPoint(p);
+        recordPoint(p);
+    }
+
+    @Override
+    public BlueprintStats getStats() {
+        Map<String, Long> byAuthor = new HashMap<>();
+        blueprintsByAuthor.forEach((author, count) -> byAuthor.put(author, count.sum()));
+        long points = totalPoints.sum();
+        if (points == 0) {
+            return new BlueprintStats(totalBlueprints.sum(), 0, byAuthor, null, null, null, null);
+        }
+        return new BlueprintStats(totalBlueprints.sum(), points, byAuthor,
+                minX.get(), minY.get(), maxX.get(), maxY.get());
+    }
+
+    private void recordBlueprint(String author, List<Point> points) {
+        totalBlueprints.increment();
+        blueprintsByAuthor.computeIfAbsent(author, a -> new LongAdder()).increment();
+        for (Point p : points) recordPoint(p);
+    }
+
+    private void recordPoint(Point p) {
+        // Extensiones antes del contador: si getStats() ve points > 0, ya no hay centinelas
+        minX.accumulateAndGet(p.x(), Math::min);
+        minY.accumulateAndGet(p.y(), Math::min);
+        maxX.accumulateAndGet(p.x(), Math::max);
+        maxY.accumulateAndGet(p.y(), Math::max);
+        totalPoints.increment();
     }
 }
@@ -0,0 +1,129 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker sobre el backend JDBC. Tras {@code failureThreshold} fallas de infraestructura
+ * consecutivas se abre y rechaza las llamadas de inmediato durante {@code openSeconds}; luego deja
+ * pasar una sola llamada de prueba (half-open) que decide si vuelve a cerrarse.
+ * El estado se publica en la métrica blueprints.persistence.circuit.state (0 cerrado, 1 abierto, 2 half-open).
+ */
+@Component
+@Lazy(false)
+@Profile("postgres")
+public class JdbcCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // Sugerencia de Retry-After cuando el circuito no está abierto (falla aislada)
+    private static final long CLOSED_RETRY_AFTER_SECONDS = 1;
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt;
+    private long probeStartedAt;
+
+    @Autowired
+    public JdbcCircuitBreaker(MeterRegistry registry,
+                              @Value("${blueprints.persistence.circuit.failure-threshold:5}") int failureThreshold,
+                              @Value("${blueprints.persistence.circuit.open-seconds:10}") long openSeconds) {
+        this(registry, failureThreshold, openSeconds, System::nanoTime);
+    }
+
+    JdbcCircuitBreaker(MeterRegistry registry, int failureThreshold, long openSeconds, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.clock = clock;
+        this.rejected = Counter.builder("blueprints.persistence.circuit.rejected").register(registry);
+        Gauge.builder("blueprints.persistence.circuit.state", this, b -> b.state().ordinal()).register(registry);
+    }
+
+    /** Clasificación de un SQLException por su SQLState. */
+    public enum FailureKind {
+        /** Datos inválidos o restricciones (22, 23): culpa de la petición en escrituras. */
+        DATA,
+        /** Deadlock o falla de serialización (40): reintentable, el backend está vivo. */
+        TRANSIENT,
+        /** Backend caído o saturado (08, 53, 57P, 58, XX, o sin SQLState): cuenta para el circuito. */
+        INFRASTRUCTURE,
+        /** Cualquier otro (p. ej. 42, esquema o consulta): error interno del servidor. */
+        INTERNAL
+    }
+
+    public static FailureKind classify(SQLException e) {
+        String sqlState = e.getSQLState();
+        if (sqlState == null) return FailureKind.INFRASTRUCTURE;
+        if (sqlState.startsWith("22") || sqlState.startsWith("23")) return FailureKind.DATA;
+        if (sqlState.startsWith("40")) return FailureKind.TRANSIENT;
+        if (sqlState.startsWith("08") || sqlState.startsWith("53") || sqlState.startsWith("57P")
+                || sqlState.startsWith("58") || sqlState.startsWith("XX")) {
+            return FailureKind.INFRASTRUCTURE;
+        }
+        return FailureKind.INTERNAL;
+    }
+
+    /** Debe seguirse de {@link #onSuccess()} u {@link #onFailure()}; con el circuito abierto lanza sin tocar el backend. */
+    public synchronized void beforeCall() {
+        long now = clock.getAsLong();
+        switch (state) {
+            case CLOSED -> { }
+            case OPEN -> {
+                if (now - openedAt < openNanos) throw reject(openedAt + openNanos - now);
+                state = State.HALF_OPEN;
+                probeStartedAt = now;
+            }
+            case HALF_OPEN -> {
+                // Una prueba que nunca reportó no puede dejar el circuito half-open para siempre
+                if (now - probeStartedAt < openNanos) throw reject(probeStartedAt + openNanos - now);
+                probeStartedAt = now;
+            }
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    /** Retry-After tras una falla: lo que resta de apertura si el circuito está abierto, si no una espera corta. */
+    public synchronized long retryAfterSeconds() {
+        if (state != State.OPEN) return CLOSED_RETRY_AFTER_SECONDS;
+        return toRetryAfterSeconds(openedAt + openNanos - clock.getAsLong());
+    }
+
+    synchronized State state() { return state; }
+
+    private PersistenceUnavailableException reject(long remainingNanos) {
+        rejected.increment();
+        return new PersistenceUnavailableException("Persistence backend unavailable (circuit open)",
+                toRetryAfterSeconds(remainingNanos), null);
+    }
+
+    private static long toRetryAfterSeconds(long remainingNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999));
+    }
+}
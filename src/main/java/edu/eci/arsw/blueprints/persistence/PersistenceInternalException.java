@@ -0,0 +1,8 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Error del backend que no es de la petición ni transitorio (esquema, consulta inválida); se responde 500.
+ */
+public class PersistenceInternalException extends RuntimeException {
+    public PersistenceInternalException(String msg, Throwable cause) { super(msg, cause); }
+}
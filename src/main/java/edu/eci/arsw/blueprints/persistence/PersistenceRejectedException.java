@@ -0,0 +1,8 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * El backend rechazó la operación por los datos de la petición (restricción, valor inválido); se responde 400.
+ */
+public class PersistenceRejectedException extends RuntimeException {
+    public PersistenceRejectedException(String msg, Throwable cause) { super(msg, cause); }
+}
@@ -0,0 +1,15 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * No se pudo contactar al backend o falló; distinta de "no encontrado" para responder 503 y no 404.
+ */
+public class PersistenceUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PersistenceUnavailableException(String msg, long retryAfterSeconds, Throwable cause) {
+        super(msg, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
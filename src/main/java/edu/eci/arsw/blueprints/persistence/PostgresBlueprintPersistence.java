@@ -5,23 +5,96 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
 import edu.eci.arsw.blueprints.model.Point;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
 
+/**
+ * Persistencia en PostgreSQL. Perfil: "postgres" (reemplaza a la de memoria).
+ * Los errores SQL se traducen según {@link JdbcCircuitBreaker.FailureKind}; nunca como "no encontrado":
+ * infraestructura y transitorios son {@link PersistenceUnavailableException} (503), los errores de datos
+ * de una escritura son {@link BlueprintPersistenceException} o {@link PersistenceRejectedException}
+ * y todo lo demás (incluidos errores de datos en lecturas) es {@link PersistenceInternalException} (500).
+ */
+@Repository
+@Primary
+@Profile("postgres")
 public class PostgresBlueprintPersistence implements BlueprintPersistence {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    // blueprint_stats está repartida en STATS_SHARDS filas: cada escritura bloquea una al azar
+    // (no una única fila global) y la lectura suma las filas, que son siempre STATS_SHARDS
+    private static final int STATS_SHARDS = 16;
+
+    // Tablas resumen: se actualizan en la misma transacción que cada escritura.
+    // blueprint_author_stats sigue siendo una fila por autor: solo serializa escrituras del mismo autor
+    private static final String[] STATS_SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS blueprint_stats (" +
+            "id SMALLINT PRIMARY KEY CHECK (id >= 0 AND id < " + STATS_SHARDS + "), " +
+            "total_blueprints BIGINT NOT NULL DEFAULT 0, " +
+            "total_points BIGINT NOT NULL DEFAULT 0, " +
+            "min_x INT, min_y INT, max_x INT, max_y INT)",
+        "CREATE TABLE IF NOT EXISTS blueprint_author_stats (" +
+            "author VARCHAR PRIMARY KEY, " +
+            "blueprints BIGINT NOT NULL DEFAULT 0)",
+        // Backfill de una sola vez si las tablas se crean sobre datos existentes
+        "INSERT INTO blueprint_stats (id, total_blueprints, total_points, min_x, min_y, max_x, max_y) " +
+            "SELECT 0, (SELECT COUNT(*) FROM blueprints), COUNT(*), MIN(x), MIN(y), MAX(x), MAX(y) FROM points " +
+            "ON CONFLICT (id) DO NOTHING",
+        "INSERT INTO blueprint_stats (id) SELECT generate_series(1, " + (STATS_SHARDS - 1) + ") " +
+            "ON CONFLICT (id) DO NOTHING",
+        "INSERT INTO blueprint_author_stats (author, blueprints) " +
+            "SELECT author, COUNT(*) FROM blueprints GROUP BY author " +
+            "ON CONFLICT (author) DO NOTHING"
+    };
+
+    private static final String UPDATE_STATS =
+        "UPDATE blueprint_stats SET total_blueprints = total_blueprints + ?, total_points = total_points + ?, " +
+        "min_x = LEAST(min_x, ?), min_y = LEAST(min_y, ?), max_x = GREATEST(max_x, ?), max_y = GREATEST(max_y, ?) " +
+        "WHERE id = ?";
+
+    private static final String UPSERT_AUTHOR_STATS =
+        "INSERT INTO blueprint_author_stats (author, blueprints) VALUES (?, 1) " +
+        "ON CONFLICT (author) DO UPDATE SET blueprints = blueprint_author_stats.blueprints + 1";
+
+    private volatile boolean statsSchemaReady = false;
+
+    private final JdbcCircuitBreaker breaker;
+
+    public PostgresBlueprintPersistence(JdbcCircuitBreaker breaker) {
+        this.breaker = breaker;
+    }
+
     @Override
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        breaker.beforeCall();
         try (Connection conn = PostgresDBConnector.getConnection()) {
+            ensureStatsSchema(conn);
+            conn.setAutoCommit(false);
             String query = "SELECT id FROM blueprints WHERE author = ? AND name = ?";
             PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, author);
             stmt.setString(2, name);
             ResultSet rs = stmt.executeQuery();
             if (!rs.next()) {
+                conn.rollback();
+                breaker.onSuccess();
                 throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
             }
             int blueprintId = rs.getInt("id");
@@ -31,14 +104,21 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
             stmtPoint.setInt(2, x);
             stmtPoint.setInt(3, y);
             stmtPoint.executeUpdate();
+
+            updateStats(conn, 0, 1, x, y, x, y);
+            conn.commit();
+            breaker.onSuccess();
         } catch (SQLException e) {
-            throw new BlueprintNotFoundException("Error adding point: " + e.getMessage());
+            throw failure("Error adding point", e, true);
         }
     }
 
     @Override
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        breaker.beforeCall();
         try (Connection conn = PostgresDBConnector.getConnection()) {
+            ensureStatsSchema(conn);
+            conn.setAutoCommit(false);
             // Insertar blueprint
             String insertBlueprint = "INSERT INTO blueprints (author, name) VALUES (?, ?) RETURNING id";
             PreparedStatement stmt = conn.prepareStatement(insertBlueprint);
@@ -61,13 +141,36 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
                 stmtPoint.executeUpdate();
             }
 
+            // Actualizar tablas resumen
+            Integer minX = null, minY = null, maxX = null, maxY = null;
+            for (Point p : bp.getPoints()) {
+                minX = minX == null ? p.x() : Math.min(minX, p.x());
+                minY = minY == null ? p.y() : Math.min(minY, p.y());
+                maxX = maxX == null ? p.x() : Math.max(maxX, p.x());
+                maxY = maxY == null ? p.y() : Math.max(maxY, p.y());
+            }
+            updateStats(conn, 1, bp.getPoints().size(), minX, minY, maxX, maxY);
+            PreparedStatement stmtAuthor = conn.prepareStatement(UPSERT_AUTHOR_STATS);
+            stmtAuthor.setString(1, bp.getAuthor());
+            stmtAuthor.executeUpdate();
+
+            conn.commit();
+            breaker.onSuccess();
         } catch (SQLException e) {
-            throw new BlueprintPersistenceException("Error saving blueprint: " + e.getMessage());
+            if (JdbcCircuitBreaker.classify(e) == JdbcCircuitBreaker.FailureKind.DATA) {
+                // Error de datos del cliente: el backend respondió bien
+                breaker.onSuccess();
+                throw new BlueprintPersistenceException(UNIQUE_VIOLATION.equals(e.getSQLState())
+                    ? "Blueprint already exists: " + bp.getAuthor() + ":" + bp.getName()
+                    : "Error saving blueprint: " + e.getMessage());
+            }
+            throw failure("Error saving blueprint", e, false);
         }
     }
 
     @Override
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        breaker.beforeCall();
         try (Connection conn = PostgresDBConnector.getConnection()) {
             String query = "SELECT b.id, p.x, p.y " +
                            "FROM blueprints b " +
@@ -79,22 +182,24 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
             stmt.setString(2, name);
             ResultSet rs = stmt.executeQuery();
 
-            Blueprint bp = new Blueprint(author, name, new ArrayList<>());
+            Blueprint bp = null;
             while (rs.next()) {
-                int x = rs.getInt("x");
-                int y = rs.getInt("y");
-                bp.addPoint(new Point(x, y));
+                if (bp == null) bp = new Blueprint(author, name, new ArrayList<>());
+                addPointIfPresent(bp, rs);
             }
+            breaker.onSuccess();
+            if (bp == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
             return bp;
 
         } catch (SQLException e) {
-            throw new BlueprintNotFoundException("Error loading blueprint: " + e.getMessage());
+            throw failure("Error loading blueprint", e, false);
         }
     }
 
     @Override
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
         Set<Blueprint> blueprints = new HashSet<>();
+        breaker.beforeCall();
         try (Connection conn = PostgresDBConnector.getConnection()) {
             String query = "SELECT b.name, p.x, p.y " +
                            "FROM blueprints b " +
@@ -115,20 +220,21 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
                     blueprints.add(current);
                     currentName = bpName;
                 }
-                int x = rs.getInt("x");
-                int y = rs.getInt("y");
-                current.addPoint(new Point(x, y));
+                addPointIfPresent(current, rs);
             }
+            breaker.onSuccess();
+            if (blueprints.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
             return blueprints;
 
         } catch (SQLException e) {
-            throw new BlueprintNotFoundException("Error loading blueprints by author: " + e.getMessage());
+            throw failure("Error loading blueprints by author", e, false);
         }
     }
 
     @Override
     public Set<Blueprint> getAllBlueprints() {
         Set<Blueprint> blueprints = new HashSet<>();
+        breaker.beforeCall();
         try (Connection conn = PostgresDBConnector.getConnection()) {
             String query = "SELECT b.author, b.name, p.x, p.y " +
                            "FROM blueprints b " +
@@ -149,15 +255,138 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
                     currentAuthor = author;
                     currentName = name;
                 }
-                int x = rs.getInt("x");
-                int y = rs.getInt("y");
-                current.addPoint(new Point(x, y));
+                addPointIfPresent(current, rs);
             }
+            breaker.onSuccess();
             return blueprints;
 
         } catch (SQLException e) {
-            // getAllBlueprints no lanza excepción según la interfaz
-            return blueprints;
+            throw failure("Error loading all blueprints", e, false);
         }
     }
+
+    @Override
+    public Map<BlueprintKey, Blueprint> getBlueprints(Collection<BlueprintKey> keys) {
+        Map<BlueprintKey, Blueprint> found = new HashMap<>();
+        List<BlueprintKey> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        if (distinct.isEmpty()) return found;
+        breaker.beforeCall();
+        try (Connection conn = PostgresDBConnector.getConnection()) {
+            // Una sola consulta: WHERE (author, name) IN ((?, ?), (?, ?), ...)
+            StringBuilder query = new StringBuilder(
+                "SELECT b.author, b.name, p.x, p.y " +
+                "FROM blueprints b " +
+                "LEFT JOIN points p ON b.id = p.blueprint_id " +
+                "WHERE (b.author, b.name) IN (");
+            for (int i = 0; i < distinct.size(); i++) {
+                query.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            }
+            query.append(") ORDER BY b.author, b.name");
+
+            PreparedStatement stmt = conn.prepareStatement(query.toString());
+            int i = 1;
+            for (BlueprintKey k : distinct) {
+                stmt.setString(i++, k.author());
+                stmt.setString(i++, k.name());
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            Blueprint current = null;
+            while (rs.next()) {
+                String author = rs.getString("author");
+                String name = rs.getString("name");
+                if (current == null || !author.equals(current.getAuthor()) || !name.equals(current.getName())) {
+                    current = new Blueprint(author, name, new ArrayList<>());
+                    found.put(new BlueprintKey(author, name), current);
+                }
+                addPointIfPresent(current, rs);
+            }
+            breaker.onSuccess();
+            return found;
+
+        } catch (SQLException e) {
+            throw failure("Error loading blueprints batch", e, false);
+        }
+    }
+
+    @Override
+    public BlueprintStats getStats() {
+        Map<String, Long> byAuthor = new HashMap<>();
+        breaker.beforeCall();
+        try (Connection conn = PostgresDBConnector.getConnection()) {
+            ensureStatsSchema(conn);
+            Statement stmt = conn.createStatement();
+            ResultSet rsAuthors = stmt.executeQuery("SELECT author, blueprints FROM blueprint_author_stats");
+            while (rsAuthors.next()) {
+                byAuthor.put(rsAuthors.getString("author"), rsAuthors.getLong("blueprints"));
+            }
+
+            ResultSet rs = stmt.executeQuery(
+                "SELECT COALESCE(SUM(total_blueprints), 0) AS total_blueprints, COALESCE(SUM(total_points), 0) AS total_points, " +
+                "MIN(min_x) AS min_x, MIN(min_y) AS min_y, MAX(max_x) AS max_x, MAX(max_y) AS max_y FROM blueprint_stats");
+            rs.next();
+            BlueprintStats stats = new BlueprintStats(rs.getLong("total_blueprints"), rs.getLong("total_points"), byAuthor,
+                    rs.getObject("min_x", Integer.class), rs.getObject("min_y", Integer.class),
+                    rs.getObject("max_x", Integer.class), rs.getObject("max_y", Integer.class));
+            breaker.onSuccess();
+            return stats;
+
+        } catch (SQLException e) {
+            throw failure("Error loading stats", e, false);
+        }
+    }
+
+    // LEFT JOIN: un blueprint sin puntos llega con x, y nulos
+    private void addPointIfPresent(Blueprint bp, ResultSet rs) throws SQLException {
+        Integer x = rs.getObject("x", Integer.class);
+        Integer y = rs.getObject("y", Integer.class);
+        if (x != null && y != null) bp.addPoint(new Point(x, y));
+    }
+
+    /**
+     * Traduce un SQLException. Solo las fallas de infraestructura cuentan para el circuito;
+     * {@code clientData} indica si un error de datos (22, 23) es culpa de la petición (escrituras).
+     */
+    RuntimeException failure(String msg, SQLException e, boolean clientData) {
+        String detail = msg + ": " + e.getMessage();
+        JdbcCircuitBreaker.FailureKind kind = JdbcCircuitBreaker.classify(e);
+        if (kind == JdbcCircuitBreaker.FailureKind.INFRASTRUCTURE) {
+            breaker.onFailure();
+            return new PersistenceUnavailableException(detail, breaker.retryAfterSeconds(), e);
+        }
+        // El backend respondió: no es una falla para el circuito
+        breaker.onSuccess();
+        return switch (kind) {
+            case TRANSIENT -> new PersistenceUnavailableException(detail, breaker.retryAfterSeconds(), e);
+            case DATA -> clientData
+                ? new PersistenceRejectedException(detail, e)
+                : new PersistenceInternalException(detail, e);
+            default -> new PersistenceInternalException(detail, e);
+        };
+    }
+
+    private void ensureStatsSchema(Connection conn) throws SQLException {
+        if (statsSchemaReady) return;
+        synchronized (this) {
+            if (statsSchemaReady) return;
+            Statement stmt = conn.createStatement();
+            for (String ddl : STATS_SCHEMA) {
+                stmt.execute(ddl);
+            }
+            statsSchemaReady = true;
+        }
+    }
+
+    private void updateStats(Connection conn, int blueprints, int points,
+                             Integer minX, Integer minY, Integer maxX, Integer maxY) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(UPDATE_STATS);
+        stmt.setInt(1, blueprints);
+        stmt.setInt(2, points);
+        stmt.setObject(3, minX, Types.INTEGER);
+        stmt.setObject(4, minY, Types.INTEGER);
+        stmt.setObject(5, maxX, Types.INTEGER);
+        stmt.setObject(6, maxY, Types.INTEGER);
+        stmt.setInt(7, ThreadLocalRandom.current().nextInt(STATS_SHARDS));
+        stmt.executeUpdate();
+    }
 }
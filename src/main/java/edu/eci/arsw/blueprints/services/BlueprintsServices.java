@@ -1,12 +1,20 @@
 package edu.eci.arsw.blueprints.services;
 
+import edu.eci.arsw.blueprints.admission.AdmissionControl;
+import edu.eci.arsw.blueprints.admission.Permit;
+import edu.eci.arsw.blueprints.cache.BlueprintResponseCache;
 import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.dto.BlueprintBatchItem;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -14,29 +22,70 @@ public class BlueprintsServices {
 
     private final BlueprintPersistence persistence;
     private final BlueprintsFilter filter;
+    private final BlueprintResponseCache responseCache;
+    private final AdmissionControl admission;
 
-    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter) {
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter,
+                              BlueprintResponseCache responseCache, AdmissionControl admission) {
         this.persistence = persistence;
         this.filter = filter;
+        this.responseCache = responseCache;
+        this.admission = admission;
     }
 
     public void addNewBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        persistence.saveBlueprint(bp);
+        try (Permit permit = admission.writePermit()) {
+            persistence.saveBlueprint(bp);
+        }
+        responseCache.invalidate(bp.getAuthor(), bp.getName());
     }
 
     public Set<Blueprint> getAllBlueprints() {
-        return persistence.getAllBlueprints();
+        try (Permit permit = admission.readPermit()) {
+            return persistence.getAllBlueprints();
+        }
     }
 
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        return persistence.getBlueprintsByAuthor(author);
+        try (Permit permit = admission.readPermit()) {
+            return persistence.getBlueprintsByAuthor(author);
+        }
     }
 
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        return filter.apply(persistence.getBlueprint(author, name));
+        try (Permit permit = admission.readPermit()) {
+            return filter.apply(persistence.getBlueprint(author, name));
+        }
+    }
+
+    /**
+     * Un solo viaje a persistencia para todas las llaves; el filtro se aplica en paralelo sobre los encontrados.
+     */
+    public List<BlueprintBatchItem> getBlueprints(List<BlueprintKey> keys) {
+        Map<BlueprintKey, Blueprint> found;
+        try (Permit permit = admission.readPermit()) {
+            found = persistence.getBlueprints(keys);
+        }
+        return keys.parallelStream()
+                .map(k -> {
+                    Blueprint bp = found.get(k);
+                    return bp == null
+                            ? new BlueprintBatchItem(k.author(), k.name(), false, null)
+                            : new BlueprintBatchItem(k.author(), k.name(), true, filter.apply(bp));
+                })
+                .toList();
     }
 
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        persistence.addPoint(author, name, x, y);
+        try (Permit permit = admission.writePermit()) {
+            persistence.addPoint(author, name, x, y);
+        }
+        responseCache.invalidate(author, name);
+    }
+
+    public BlueprintStats getStats() {
+        try (Permit permit = admission.readPermit()) {
+            return persistence.getStats();
+        }
     }
 }
@@ -34,4 +34,12 @@ public class ApiResponseBuilder {
     public <T> BaseApiResponse<T> forbidden(T data, String message) {
         return new BaseApiResponse<T>(HttpStatus.FORBIDDEN.value(), message, data);
     }
+
+    public <T> BaseApiResponse<T> tooManyRequests(T data, String message) {
+        return new BaseApiResponse<T>(HttpStatus.TOO_MANY_REQUESTS.value(), message, data);
+    }
+
+    public <T> BaseApiResponse<T> serviceUnavailable(T data, String message) {
+        return new BaseApiResponse<T>(HttpStatus.SERVICE_UNAVAILABLE.value(), message, data);
+    }
 }
\ No newline at end of file
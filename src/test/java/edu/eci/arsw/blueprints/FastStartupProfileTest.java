@@ -0,0 +1,22 @@
+package edu.eci.arsw.blueprints;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("fast-startup")
+class FastStartupProfileTest {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test void admissionMetersExistBeforeFirstRequest() {
+        assertNotNull(registry.find("blueprints.admission.limit").tag("type", "read").gauge());
+        assertNotNull(registry.find("blueprints.admission.rejected").counter());
+    }
+}
@@ -0,0 +1,61 @@
+package edu.eci.arsw.blueprints.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdmissionControl admission(int clientCapacity, int authorCapacity, int maxTrackedKeys) {
+        return new AdmissionControl(registry, true, clientCapacity, 1, authorCapacity, 1,
+                maxTrackedKeys, 4, 2, 0, 1);
+    }
+
+    @Test void exhaustedWritePermitsDoNotShedReads() {
+        AdmissionControl admission = admission(20, 20, 100);
+        List<Permit> writes = new ArrayList<>();
+        writes.add(admission.writePermit());
+        writes.add(admission.writePermit());
+        assertThrows(OverloadedException.class, admission::writePermit);
+
+        List<Permit> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) reads.add(admission.readPermit());
+        assertEquals(1, registry.get("blueprints.admission.rejected").tag("reason", "write-concurrency").counter().count());
+        assertEquals(0, registry.get("blueprints.admission.rejected").tag("reason", "read-concurrency").counter().count());
+
+        reads.forEach(Permit::close);
+        writes.forEach(Permit::close);
+    }
+
+    @Test void perClientLimitReturnsRetryAfter() {
+        AdmissionControl admission = admission(2, 100, 100);
+        admission.checkWriteRate("10.0.0.1", "a");
+        admission.checkWriteRate("10.0.0.1", "b");
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> admission.checkWriteRate("10.0.0.1", "c"));
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+
+        admission.checkWriteRate("10.0.0.2", "a");
+    }
+
+    @Test void perAuthorLimitAppliesAcrossClients() {
+        AdmissionControl admission = admission(100, 1, 100);
+        admission.checkWriteRate("10.0.0.1", "john");
+        assertThrows(RateLimitExceededException.class, () -> admission.checkWriteRate("10.0.0.2", "john"));
+    }
+
+    @Test void bucketTableIsBounded() {
+        AdmissionControl admission = admission(100, 1, 2);
+        admission.checkWriteRate("c", "a1");
+        admission.checkWriteRate("c", "a2");
+        admission.checkWriteRate("c", "a3");
+        // a1 fue desalojado: vuelve con un bucket nuevo
+        admission.checkWriteRate("c", "a1");
+    }
+}
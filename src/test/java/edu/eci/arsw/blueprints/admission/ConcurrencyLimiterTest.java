@@ -0,0 +1,22 @@
+package edu.eci.arsw.blueprints.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    @Test void shedsBeyondLimitAndRecoversOnClose() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("write", 2, 0);
+        Permit first = limiter.tryAcquire();
+        Permit second = limiter.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(2, limiter.inFlight());
+        assertNull(limiter.tryAcquire());
+
+        first.close();
+        assertEquals(1, limiter.inFlight());
+        assertNotNull(limiter.tryAcquire());
+    }
+}
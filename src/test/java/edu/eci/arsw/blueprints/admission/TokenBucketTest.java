@@ -0,0 +1,41 @@
+package edu.eci.arsw.blueprints.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, now::get);
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test void reportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 2, now::get);
+        bucket.tryAcquire();
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.tryAcquire());
+    }
+
+    @Test void refillsOverTimeWithoutExceedingCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, now::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+}
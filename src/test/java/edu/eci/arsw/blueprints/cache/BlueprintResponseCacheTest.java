@@ -0,0 +1,90 @@
+package edu.eci.arsw.blueprints.cache;
+
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintResponseCacheTest {
+
+    private static final BlueprintKey HOUSE = new BlueprintKey("john", "house");
+    private static final byte[] JSON = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+
+    @Test void storesPlainAndGzipVariants() throws IOException {
+        BlueprintResponseCache cache = new BlueprintResponseCache(true, 1 << 20, false);
+        assertTrue(cache.put(HOUSE, cache.version(HOUSE), JSON));
+
+        BlueprintResponseCache.Entry entry = cache.get(HOUSE);
+        assertArrayEquals(JSON, entry.bytes(false));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.bytes(true)))) {
+            assertArrayEquals(JSON, in.readAllBytes());
+        }
+    }
+
+    @Test void offHeapEntriesStreamFromDirectBuffer() throws IOException {
+        BlueprintResponseCache cache = new BlueprintResponseCache(true, 1 << 20, true);
+        cache.put(HOUSE, cache.version(HOUSE), JSON);
+        BlueprintResponseCache.Entry entry = cache.get(HOUSE);
+        assertTrue(entry.isOffHeap());
+        assertEquals(JSON.length, entry.length(false));
+
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            entry.writeTo(out, false);
+            assertArrayEquals(JSON, out.toByteArray());
+        }
+        assertThrows(IllegalStateException.class, () -> entry.bytes(false));
+    }
+
+    @Test void invalidateDropsEntry() {
+        BlueprintResponseCache cache = new BlueprintResponseCache(true, 1 << 20, false);
+        cache.put(HOUSE, cache.version(HOUSE), JSON);
+        cache.invalidate("john", "house");
+        assertNull(cache.get(HOUSE));
+    }
+
+    @Test void putReadBeforeAWriteIsRejected() {
+        BlueprintResponseCache cache = new BlueprintResponseCache(true, 1 << 20, false);
+        long version = cache.version(HOUSE);
+        cache.invalidate("john", "house");
+        assertFalse(cache.put(HOUSE, version, JSON));
+        assertNull(cache.get(HOUSE));
+    }
+
+    @Test void writesToOtherBlueprintsDoNotRejectPut() {
+        BlueprintResponseCache cache = new BlueprintResponseCache(true, 1 << 20, false);
+        BlueprintKey other = new BlueprintKey("jane", "garden");
+        assertNotEquals(BlueprintResponseCache.stripe(HOUSE), BlueprintResponseCache.stripe(other));
+        long version = cache.version(HOUSE);
+        cache.invalidate("jane", "garden");
+        assertTrue(cache.put(HOUSE, version, JSON));
+    }
+
+    @Test void keysWithSeparatorDoNotCollide() {
+        BlueprintResponseCache cache = new BlueprintResponseCache(true, 1 << 20, false);
+        cache.put(new BlueprintKey("a:b", "c"), cache.version(new BlueprintKey("a:b", "c")), JSON);
+        assertNull(cache.get(new BlueprintKey("a", "b:c")));
+    }
+
+    @Test void staysWithinMaxBytes() {
+        BlueprintResponseCache cache = new BlueprintResponseCache(true, 100, false);
+        assertFalse(cache.put(HOUSE, cache.version(HOUSE), new byte[200]));
+        cache.put(new BlueprintKey("a", "1"), cache.version(new BlueprintKey("a", "1")), JSON);
+        cache.put(new BlueprintKey("a", "2"), cache.version(new BlueprintKey("a", "2")), JSON);
+        cache.put(new BlueprintKey("a", "3"), cache.version(new BlueprintKey("a", "3")), JSON);
+        assertNull(cache.get(new BlueprintKey("a", "1")));
+        assertNotNull(cache.get(new BlueprintKey("a", "3")));
+    }
+
+    @Test void disabledCacheStoresNothing() {
+        BlueprintResponseCache cache = new BlueprintResponseCache(false, 1 << 20, false);
+        assertFalse(cache.put(HOUSE, cache.version(HOUSE), JSON));
+        assertNull(cache.get(HOUSE));
+    }
+}
@@ -0,0 +1,66 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BlueprintsAPIControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test void gzipNegotiation() {
+        assertTrue(BlueprintsAPIController.acceptsGzip("gzip, deflate, br"));
+        assertTrue(BlueprintsAPIController.acceptsGzip("br;q=1.0, gzip;q=0.5"));
+        assertTrue(BlueprintsAPIController.acceptsGzip("*"));
+        assertFalse(BlueprintsAPIController.acceptsGzip(null));
+        assertFalse(BlueprintsAPIController.acceptsGzip("gzip;q=0"));
+        assertFalse(BlueprintsAPIController.acceptsGzip("*, gzip;q=0"));
+        assertFalse(BlueprintsAPIController.acceptsGzip("identity"));
+    }
+
+    @Test void batchWithNullKeyIsBadRequest() throws Exception {
+        mvc.perform(post("/api/v1/blueprints/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"keys\":[null]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test void batchMarksMissingKeys() throws Exception {
+        mvc.perform(post("/api/v1/blueprints/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"keys\":[{\"author\":\"john\",\"name\":\"house\"},{\"author\":\"x\",\"name\":\"y\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].found").value(true))
+                .andExpect(jsonPath("$.data[1].found").value(false));
+    }
+
+    @Test void statsIsServedAtStatsRoute() throws Exception {
+        mvc.perform(get("/api/v1/blueprints/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalBlueprints").isNumber())
+                .andExpect(jsonPath("$.data.blueprintsByAuthor.john").isNumber());
+    }
+
+    @Test void onlyStatsAuthorIsReserved() throws Exception {
+        mvc.perform(post("/api/v1/blueprints")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"stats\",\"name\":\"x\",\"points\":[]}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/v1/blueprints")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"_underscore\",\"name\":\"x\",\"points\":[]}"))
+                .andExpect(status().isCreated());
+    }
+}
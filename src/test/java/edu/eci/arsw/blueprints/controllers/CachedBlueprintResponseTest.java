@@ -0,0 +1,45 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "blueprints.response-cache.enabled=true",
+        "blueprints.response-cache.off-heap=true"
+})
+@AutoConfigureMockMvc
+class CachedBlueprintResponseTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test void offHeapHitIsStreamedFromCache() throws Exception {
+        // Miss: llena la cache
+        mvc.perform(get("/api/v1/blueprints/jane/garden"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("garden"));
+
+        // Hit: cuerpo escrito desde el buffer directo
+        mvc.perform(get("/api/v1/blueprints/jane/garden")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 171))
+                .andExpect(jsonPath("$.data.author").value("jane"));
+
+        // Hit gzip: la variante comprimida también sale del buffer directo
+        mvc.perform(get("/api/v1/blueprints/jane/garden")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+}
@@ -0,0 +1,38 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "blueprints.admission.client.capacity=1",
+        "blueprints.admission.client.refill-per-second=0.001"
+})
+class ForwardedClientRateLimitTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test void clientsBehindProxyGetTheirOwnBucket() {
+        // Todas las peticiones llegan desde 127.0.0.1 (el "proxy"); el cliente real va en X-Forwarded-For
+        assertEquals(HttpStatus.CREATED, post("203.0.113.1", "alice", "a1"));
+        assertEquals(HttpStatus.CREATED, post("203.0.113.2", "bob", "b1"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, post("203.0.113.1", "carol", "c1"));
+    }
+
+    private HttpStatus post(String forwardedFor, String author, String name) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        String body = "{\"author\":\"" + author + "\",\"name\":\"" + name + "\",\"points\":[{\"x\":1,\"y\":1}]}";
+        return HttpStatus.valueOf(rest.postForEntity("/api/v1/blueprints", new HttpEntity<>(body, headers), String.class)
+                .getStatusCode().value());
+    }
+}
@@ -0,0 +1,52 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintStats;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryBlueprintPersistenceTest {
+
+    @Test void statsCoverSampleData() {
+        BlueprintStats stats = new InMemoryBlueprintPersistence().getStats();
+        assertEquals(3, stats.totalBlueprints());
+        assertEquals(10, stats.totalPoints());
+        assertEquals(2L, stats.blueprintsByAuthor().get("john"));
+        assertEquals(1L, stats.blueprintsByAuthor().get("jane"));
+        assertEquals(0, stats.minX());
+        assertEquals(0, stats.minY());
+        assertEquals(15, stats.maxX());
+        assertEquals(15, stats.maxY());
+    }
+
+    @Test void statsFollowSaveAndAddPoint() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        persistence.saveBlueprint(new Blueprint("ana", "shed", List.of(new Point(-5, 3), new Point(1, 1))));
+        persistence.addPoint("ana", "shed", 20, -2);
+
+        BlueprintStats stats = persistence.getStats();
+        assertEquals(4, stats.totalBlueprints());
+        assertEquals(13, stats.totalPoints());
+        assertEquals(1L, stats.blueprintsByAuthor().get("ana"));
+        assertEquals(-5, stats.minX());
+        assertEquals(-2, stats.minY());
+        assertEquals(20, stats.maxX());
+        assertEquals(15, stats.maxY());
+    }
+
+    @Test void duplicateSaveIsNotCounted() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        assertThrows(BlueprintPersistenceException.class,
+                () -> persistence.saveBlueprint(new Blueprint("john", "house", List.of(new Point(100, 100)))));
+
+        BlueprintStats stats = persistence.getStats();
+        assertEquals(3, stats.totalBlueprints());
+        assertEquals(10, stats.totalPoints());
+        assertEquals(2L, stats.blueprintsByAuthor().get("john"));
+        assertEquals(15, stats.maxX());
+    }
+}
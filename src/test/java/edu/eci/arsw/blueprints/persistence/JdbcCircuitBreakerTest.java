@@ -0,0 +1,96 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private JdbcCircuitBreaker breaker;
+
+    @BeforeEach void setUp() {
+        registry = new SimpleMeterRegistry();
+        breaker = new JdbcCircuitBreaker(registry, 3, 10, now::get);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.beforeCall();
+            breaker.onFailure();
+        }
+    }
+
+    private double stateGauge() {
+        return registry.get("blueprints.persistence.circuit.state").gauge().value();
+    }
+
+    @Test void opensAfterThresholdAndRejectsFast() {
+        fail(2);
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(1, breaker.retryAfterSeconds());
+
+        fail(1);
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(1.0, stateGauge());
+        assertEquals(10, breaker.retryAfterSeconds());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        PersistenceUnavailableException e = assertThrows(PersistenceUnavailableException.class, breaker::beforeCall);
+        assertEquals(6, e.getRetryAfterSeconds());
+    }
+
+    @Test void successResetsConsecutiveFailures() {
+        fail(2);
+        breaker.beforeCall();
+        breaker.onSuccess();
+        fail(2);
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test void halfOpenProbeClosesOnSuccess() {
+        fail(3);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        breaker.beforeCall();
+        assertEquals(JdbcCircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(2.0, stateGauge());
+        assertThrows(PersistenceUnavailableException.class, breaker::beforeCall);
+
+        breaker.onSuccess();
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+        breaker.beforeCall();
+    }
+
+    @Test void halfOpenProbeReopensOnFailure() {
+        fail(3);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        breaker.beforeCall();
+        breaker.onFailure();
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(PersistenceUnavailableException.class, breaker::beforeCall);
+    }
+
+    @Test void classifiesSqlStates() {
+        assertEquals(JdbcCircuitBreaker.FailureKind.INFRASTRUCTURE, JdbcCircuitBreaker.classify(new SQLException("refused", "08001")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.INFRASTRUCTURE, JdbcCircuitBreaker.classify(new SQLException("too many connections", "53300")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.INFRASTRUCTURE, JdbcCircuitBreaker.classify(new SQLException("admin shutdown", "57P01")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.INFRASTRUCTURE, JdbcCircuitBreaker.classify(new SQLException("disk", "58030")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.INFRASTRUCTURE, JdbcCircuitBreaker.classify(new SQLException("internal", "XX000")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.INFRASTRUCTURE, JdbcCircuitBreaker.classify(new SQLException("io")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.TRANSIENT, JdbcCircuitBreaker.classify(new SQLException("deadlock", "40P01")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.TRANSIENT, JdbcCircuitBreaker.classify(new SQLException("serialization", "40001")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.DATA, JdbcCircuitBreaker.classify(new SQLException("too long", "22001")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.DATA, JdbcCircuitBreaker.classify(new SQLException("not null", "23502")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.INTERNAL, JdbcCircuitBreaker.classify(new SQLException("no table", "42P01")));
+        assertEquals(JdbcCircuitBreaker.FailureKind.INTERNAL, JdbcCircuitBreaker.classify(new SQLException("syntax", "42601")));
+    }
+}
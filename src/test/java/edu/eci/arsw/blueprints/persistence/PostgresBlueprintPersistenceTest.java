@@ -0,0 +1,62 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresBlueprintPersistenceTest {
+
+    private JdbcCircuitBreaker breaker;
+    private PostgresBlueprintPersistence persistence;
+
+    @BeforeEach void setUp() {
+        breaker = new JdbcCircuitBreaker(new SimpleMeterRegistry(), 1, 10, System::nanoTime);
+        persistence = new PostgresBlueprintPersistence(breaker);
+    }
+
+    private RuntimeException read(String sqlState) {
+        breaker.beforeCall();
+        return persistence.failure("read", new SQLException("boom", sqlState), false);
+    }
+
+    private RuntimeException write(String sqlState) {
+        breaker.beforeCall();
+        return persistence.failure("write", new SQLException("boom", sqlState), true);
+    }
+
+    @Test void readsNeverBlameTheClient() {
+        assertInstanceOf(PersistenceInternalException.class, read("22001"));
+        assertInstanceOf(PersistenceInternalException.class, read("23502"));
+        assertInstanceOf(PersistenceInternalException.class, read("42P01"));
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test void writeDataErrorsAreRejected() {
+        assertInstanceOf(PersistenceRejectedException.class, write("22001"));
+        assertInstanceOf(PersistenceRejectedException.class, write("23503"));
+        assertInstanceOf(PersistenceInternalException.class, write("42601"));
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test void transientErrorsAreUnavailableWithoutTrippingBreaker() {
+        PersistenceUnavailableException e = assertInstanceOf(PersistenceUnavailableException.class, read("40P01"));
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertInstanceOf(PersistenceUnavailableException.class, write("40001"));
+        assertEquals(JdbcCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test void infrastructureErrorsTripBreaker() {
+        PersistenceUnavailableException e = assertInstanceOf(PersistenceUnavailableException.class, read("58030"));
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(10, e.getRetryAfterSeconds());
+    }
+
+    @Test void internalServerErrorStateTripsBreaker() {
+        assertInstanceOf(PersistenceUnavailableException.class, read("XX000"));
+        assertEquals(JdbcCircuitBreaker.State.OPEN, breaker.state());
+    }
+}
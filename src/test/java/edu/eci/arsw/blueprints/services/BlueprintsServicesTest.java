@@ -0,0 +1,82 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.admission.AdmissionControl;
+import edu.eci.arsw.blueprints.cache.BlueprintResponseCache;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintKey;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.dto.BlueprintBatchItem;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintsServicesTest {
+
+    private BlueprintResponseCache cache;
+    private BlueprintsServices services;
+
+    @BeforeEach void setUp() {
+        cache = new BlueprintResponseCache(true, 1 << 20, false);
+        AdmissionControl admission = new AdmissionControl(new SimpleMeterRegistry(), true,
+                20, 10, 20, 10, 10_000, 64, 8, 0, 1);
+        services = new BlueprintsServices(new InMemoryBlueprintPersistence(), new IdentityFilter(), cache, admission);
+    }
+
+    @Test void addPointInvalidatesCachedResponse() throws Exception {
+        BlueprintKey house = new BlueprintKey("john", "house");
+        cache.put(house, cache.version(house), "{}".getBytes(StandardCharsets.UTF_8));
+
+        services.addPoint("john", "house", 1, 1);
+
+        assertNull(cache.get(house));
+    }
+
+    @Test void responseLoadedBeforeAddPointIsNotCached() throws Exception {
+        BlueprintKey house = new BlueprintKey("john", "house");
+        long version = cache.version(house);
+        services.getBlueprint("john", "house");
+
+        services.addPoint("john", "house", 1, 1);
+
+        assertFalse(cache.put(house, version, "{}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(cache.get(house));
+    }
+
+    @Test void batchKeepsRequestOrderAndMarksMissingKeys() {
+        List<BlueprintBatchItem> items = services.getBlueprints(List.of(
+                new BlueprintKey("jane", "garden"),
+                new BlueprintKey("nobody", "nothing"),
+                new BlueprintKey("john", "house"),
+                new BlueprintKey("jane", "garden")));
+
+        assertEquals(4, items.size());
+        assertEquals("garden", items.get(0).name());
+        assertTrue(items.get(0).found());
+        assertEquals(3, items.get(0).blueprint().getPoints().size());
+        assertEquals("nobody", items.get(1).author());
+        assertFalse(items.get(1).found());
+        assertNull(items.get(1).blueprint());
+        assertEquals("house", items.get(2).name());
+        assertTrue(items.get(2).found());
+        assertTrue(items.get(3).found());
+    }
+
+    @Test void batchAppliesActiveFilter() throws Exception {
+        AdmissionControl admission = new AdmissionControl(new SimpleMeterRegistry(), true,
+                20, 10, 20, 10, 10_000, 64, 8, 0, 1);
+        BlueprintsServices filtered = new BlueprintsServices(new InMemoryBlueprintPersistence(),
+                bp -> new Blueprint(bp.getAuthor(), bp.getName(), bp.getPoints().subList(0, 1)), cache, admission);
+        filtered.addNewBlueprint(new Blueprint("ana", "line", List.of(new Point(0, 0), new Point(1, 1))));
+
+        List<BlueprintBatchItem> items = filtered.getBlueprints(List.of(new BlueprintKey("ana", "line")));
+
+        assertEquals(List.of(new Point(0, 0)), items.get(0).blueprint().getPoints());
+    }
+}